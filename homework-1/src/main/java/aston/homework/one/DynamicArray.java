@@ -5,6 +5,8 @@ import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Реализация интерфейса {@link Array} с изменяемым размером массива.
@@ -17,6 +19,17 @@ import java.util.NoSuchElementException;
  * позволяющий увеличить емкость до требуемой величины перед добавлением. Вместе с этим реализация предоставляет метод {@link DynamicArray#trimToSize()}
  * позволяющий уменьшить емкость до текущего размера массива.</p>
  *
+ * <p>Для большого количества маленьких массивов реализация поддерживает компактный режим, задаваемый порогом компактности
+ * в конструкторе {@link DynamicArray#DynamicArray(int, int)}. Пока емкость не превышает порог, внутренний массив
+ * имеет точный размер и увеличивается ровно до требуемой емкости. После превышения порога применяется обычная политика
+ * увеличения емкости, а метод {@link DynamicArray#trimToSize()} возвращает массив в компактную форму.</p>
+ *
+ * <p>Для инкрементальных контрольных точек реализация поддерживает отслеживание изменений, включаемое методом
+ * {@link DynamicArray#enableChangeTracking(int)}. Внутренний массив делится на блоки фиксированного размера,
+ * а измененные блоки отмечаются в битовой карте. Метод {@link DynamicArray#checkpoint(BlockVisitor)} передает
+ * измененные с прошлой контрольной точки блоки по одному без копирования, метод {@link DynamicArray#checkpoint()}
+ * собирает их копии в {@link Delta}, а метод {@link DynamicArray#applyDelta(Delta)} применяет их к другому массиву.</p>
+ *
  * <p>Поскольку реализация не синхронизирована, для обеспечения безопасности структурных изменений в многопоточной среде,
  * экземпляр синхронизовать извне.</p>
  *
@@ -35,6 +48,12 @@ public class DynamicArray<E> implements Array<E> {
      */
     public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
 
+    /**
+     * Максимальный порог компактности. Ниже порога каждое добавление копирует внутренний массив,
+     * поэтому порог ограничен небольшой величиной.
+     */
+    public static final int MAX_COMPACT_THRESHOLD = 16;
+
     /**
      * Общий экземпляр пустого массива, используемый в качестве внутреннего массива для пустых экземпляров.
      */
@@ -45,6 +64,12 @@ public class DynamicArray<E> implements Array<E> {
      */
     private static final int MIN_CAPACITY = 10;
 
+    /**
+     * Порог компактности, до которого емкость увеличивается ровно до требуемой.
+     * Нулевое значение означает, что компактный режим отключен.
+     */
+    private final int compactThreshold;
+
     /**
      * Счетчик модификаций массива. спользуется итератором.
      */
@@ -60,6 +85,12 @@ public class DynamicArray<E> implements Array<E> {
      */
     private int size;
 
+    /**
+     * Состояние отслеживания изменений. Создается только при включении отслеживания,
+     * значение null означает, что отслеживание изменений отключено.
+     */
+    private ChangeTracker changeTracker;
+
     /**
      * Создает пустой список с нулевой изначальной емкостью.
      */
@@ -74,10 +105,32 @@ public class DynamicArray<E> implements Array<E> {
      * @throws IllegalArgumentException если указанная емкость имеет отрицательное значение
      */
     public DynamicArray(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    /**
+     * Создает пустой список с указанной изначальной емкость в компактном режиме.
+     * Пока емкость не превышает порог компактности, внутренний массив имеет точный размер.
+     * Поэтому каждое добавление ниже порога копирует внутренний массив, и заполнение до порога
+     * стоит O(compactThreshold²) копирований, из-за чего порог ограничен {@link DynamicArray#MAX_COMPACT_THRESHOLD}.
+     *
+     * @param  initialCapacity изначальная емкость списка
+     * @param  compactThreshold порог компактности, нулевое значение отключает компактный режим
+     * @throws IllegalArgumentException если указанная емкость имеет отрицательное значение
+     *                                  или порог компактности выходит за диапазон (0 <= compactThreshold && compactThreshold <= MAX_COMPACT_THRESHOLD)
+     */
+    public DynamicArray(int initialCapacity, int compactThreshold) {
         if (initialCapacity < 0) {
             throw new IllegalArgumentException("InitialCapacity must not be negative, but: " + initialCapacity);
         }
 
+        if (compactThreshold < 0 || MAX_COMPACT_THRESHOLD < compactThreshold) {
+            throw new IllegalArgumentException("CompactThreshold must be in [0, " + MAX_COMPACT_THRESHOLD + "], but: "
+                    + compactThreshold);
+        }
+
+        this.compactThreshold = compactThreshold;
+
         if (initialCapacity == 0) {
             this.elements = EMPTY_ARRAY;
         } else {
@@ -116,10 +169,45 @@ public class DynamicArray<E> implements Array<E> {
 
         elements[index] = element;
         size += 1;
+        markDirty(index, size);
 
         return true;
     }
 
+    /**
+     * Применяет к этому массиву изменения, полученные методом {@link DynamicArray#checkpoint()} другого массива.
+     * После применения размер этого массива равен размеру массива-источника на момент контрольной точки.
+     *
+     * @param delta применяемые изменения
+     * @throws IllegalArgumentException если delta имеет значение null
+     */
+    public void applyDelta(Delta<? extends E> delta) {
+        if (delta == null) {
+            throw new IllegalArgumentException("A delta must not be null");
+        }
+
+        modificationCounter++;
+        ensureCapacity(delta.size);
+
+        for (int i = 0; i < delta.blockIndexes.length; i++) {
+            Object[] block = delta.blocks[i];
+            System.arraycopy(block, 0, elements, delta.blockIndexes[i] * delta.blockSize, block.length);
+        }
+
+        if (delta.size < size) {
+            Arrays.fill(elements, delta.size, size, null);
+        }
+
+        if (changeTracker != null) {
+            for (int block : delta.blockIndexes) {
+                int from = block * delta.blockSize;
+                markDirty(from, Math.min(from + delta.blockSize, delta.size));
+            }
+            markDirty(Math.min(size, delta.size), Math.max(size, delta.size));
+        }
+        size = delta.size;
+    }
+
     /**
      * Проверяет допустимость использования индекса для вставки в массив.
      *
@@ -144,6 +232,79 @@ public class DynamicArray<E> implements Array<E> {
         }
     }
 
+    /**
+     * Возвращает текущую емкость, то есть длину внутреннего массива.
+     *
+     * @return текущая емкость
+     */
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Возвращает изменения этого массива с прошлой контрольной точки и начинает новую.
+     * Изменения содержат копии только тех блоков, которые были изменены.
+     * После вызова все блоки считаются неизмененными.
+     *
+     * @return изменения этого массива с прошлой контрольной точки
+     * @throws IllegalStateException если отслеживание изменений отключено
+     * @see DynamicArray#checkpoint(BlockVisitor)
+     */
+    public Delta<E> checkpoint() {
+        if (changeTracker == null) {
+            throw new IllegalStateException("Change tracking is disabled");
+        }
+
+        int blockCount = changeTracker.dirtyBlockCount(size);
+        int[] blockIndexes = new int[blockCount];
+        Object[][] blocks = new Object[blockCount][];
+        int[] position = {0};
+
+        checkpoint((block, array, from, to) -> {
+            blockIndexes[position[0]] = block;
+            blocks[position[0]++] = Arrays.copyOfRange(elements, from, to);
+        });
+
+        return new Delta<>(size, changeTracker.blockSize, blockIndexes, blocks);
+    }
+
+    /**
+     * Передает указанному посетителю измененные с прошлой контрольной точки блоки по одному в порядке возрастания
+     * и начинает новую контрольную точку. Блоки не копируются: посетитель получает этот массив и диапазон блока
+     * и читает элементы через {@link DynamicArray#get(int)}. Размер массива на момент контрольной точки
+     * возвращает {@link DynamicArray#size()}.
+     * Все блоки считаются неизмененными только после обхода всех блоков; если посетитель выбросит исключение,
+     * отметки об изменениях сохраняются.
+     *
+     * @param visitor посетитель измененных блоков
+     * @throws IllegalStateException если отслеживание изменений отключено
+     * @throws IllegalArgumentException если посетитель имеет значение null
+     * @throws ConcurrentModificationException если посетитель изменил этот массив
+     */
+    public void checkpoint(BlockVisitor<? super E> visitor) {
+        if (changeTracker == null) {
+            throw new IllegalStateException("Change tracking is disabled");
+        }
+
+        if (visitor == null) {
+            throw new IllegalArgumentException("A visitor must not be null");
+        }
+
+        int blockSize = changeTracker.blockSize;
+        int blockCount = (size + blockSize - 1) / blockSize;
+        for (int block = changeTracker.nextDirtyBlock(0); 0 <= block && block < blockCount;
+             block = changeTracker.nextDirtyBlock(block + 1)) {
+            int from = block * blockSize;
+            int expectedModificationCount = modificationCounter;
+            visitor.visit(block, this, from, Math.min(from + blockSize, size));
+            if (expectedModificationCount != modificationCounter) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        changeTracker.reset();
+    }
+
     /**
      * Удаляет все элементы из этого списка, не изменяя при этом емкость.
      */
@@ -151,9 +312,33 @@ public class DynamicArray<E> implements Array<E> {
         modificationCounter++;
 
         Arrays.fill(elements, null);
+        markDirty(0, size);
         size = 0;
     }
 
+    /**
+     * Отключает отслеживание изменений и освобождает битовую карту измененных блоков.
+     */
+    public void disableChangeTracking() {
+        changeTracker = null;
+    }
+
+    /**
+     * Включает отслеживание изменений с указанным размером блока.
+     * Все текущие элементы считаются измененными, поэтому первая контрольная точка содержит весь массив.
+     *
+     * @param blockSize количество элементов в одном блоке
+     * @throws IllegalArgumentException если размер блока не положительный
+     */
+    public void enableChangeTracking(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("BlockSize must be positive, but: " + blockSize);
+        }
+
+        changeTracker = new ChangeTracker(blockSize);
+        markDirty(0, size);
+    }
+
     /**
      * При необходимости увеличивает ёмкость этого списка, гарантируя указанную минимальную емкость.
      *
@@ -188,6 +373,26 @@ public class DynamicArray<E> implements Array<E> {
      * @throws OutOfMemoryError если не удается обеспечить минимальную емкость
      */
     private Object[] grow(int requiredCapacity) {
+        int newCapacity = newCapacity(elements.length, requiredCapacity);
+        if (requiredCapacity <= compactThreshold) {
+            // В компактном режиме массив увеличивается ровно до требуемой емкости
+            newCapacity = requiredCapacity;
+        }
+
+        return elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    /**
+     * Вычисляет новую емкость по политике увеличения емкости этого класса.
+     * Используется также другими массивами этого пакета, чтобы их емкость увеличивалась одинаково.
+     *
+     * @param currentCapacity текущая емкость
+     * @param requiredCapacity требуемая минимальная емкость
+     * @return новая емкость, не меньшая требуемой
+     * @throws IllegalArgumentException если requiredCapacity меньше нуля или больше, чем {@link DynamicArray#MAX_CAPACITY}
+     * @throws OutOfMemoryError если не удается обеспечить минимальную емкость
+     */
+    static int newCapacity(int currentCapacity, int requiredCapacity) {
         if (requiredCapacity < 0) {
             throw new IllegalArgumentException("Capacity must not be negative, but: " + requiredCapacity);
         }
@@ -196,9 +401,8 @@ public class DynamicArray<E> implements Array<E> {
             throw new IllegalArgumentException("The requiredCapacity is greater than maximum array capacity");
         }
 
-        int currentCapacity = elements.length;
         if (currentCapacity == 0) {
-            return elements = new Object[Math.max(requiredCapacity, MIN_CAPACITY)];
+            return Math.max(requiredCapacity, MIN_CAPACITY);
         }
 
         int minGrowth = requiredCapacity - currentCapacity;
@@ -215,7 +419,7 @@ public class DynamicArray<E> implements Array<E> {
             throw new OutOfMemoryError("Cannot meet minimum new capacity");
         }
 
-        return elements = Arrays.copyOf(elements, newCapacity);
+        return newCapacity;
     }
 
     /**
@@ -243,6 +447,15 @@ public class DynamicArray<E> implements Array<E> {
         return -1;
     }
 
+    /**
+     * Проверяет, включено ли отслеживание изменений.
+     *
+     * @return true если отслеживание изменений включено, в противном случае false
+     */
+    public boolean isChangeTrackingEnabled() {
+        return changeTracker != null;
+    }
+
     /**
      * Проверяет массив на пустоту.
      *
@@ -288,6 +501,18 @@ public class DynamicArray<E> implements Array<E> {
         return -1;
     }
 
+    /**
+     * Отмечает измененными блоки, пересекающиеся с указанным диапазоном индексов, если отслеживание изменений включено.
+     *
+     * @param from начальный индекс диапазона, включительно
+     * @param to конечный индекс диапазона, исключительно
+     */
+    private void markDirty(int from, int to) {
+        if (changeTracker != null && from < to) {
+            changeTracker.mark(from, to);
+        }
+    }
+
     /**
      * Удаляет элемент по указанному индексу в этом массиве.
      * Все текущие элементы, индекс которых не меньше указанного, сдвигаются влево (их индекс уменьшается на единицу).
@@ -307,6 +532,7 @@ public class DynamicArray<E> implements Array<E> {
             System.arraycopy(elements, index + 1, elements, index, newSize - index);
         }
 
+        markDirty(index, size);
         size = newSize;
         elements[size] = null; // убираю жесткую ссылку
 
@@ -345,6 +571,7 @@ public class DynamicArray<E> implements Array<E> {
 
         E old = get(index);
         elements[index] = element;
+        markDirty(index, index + 1);
 
         return old;
     }
@@ -374,6 +601,175 @@ public class DynamicArray<E> implements Array<E> {
         }
 
         internalSort(comparator, 0, size - 1);
+        markDirty(0, size);
+    }
+
+    /**
+     * Сортирует этот массив по возрастанию целочисленного ключа поразрядной сортировкой.
+     * Ключ извлекается из каждого элемента ровно один раз. Сортировка устойчива:
+     * элементы с равными ключами сохраняют взаимный порядок.
+     *
+     * @param keyExtractor функция извлечения ключа из элемента
+     */
+    public void sortByIntKey(ToIntFunction<? super E> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("A key extractor must not be null");
+        }
+
+        if (size < 2) {
+            return;
+        }
+
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            // Инвертируем знаковый бит, чтобы беззнаковый порядок совпадал со знаковым
+            keys[i] = keyExtractor.applyAsInt(get(i)) ^ Integer.MIN_VALUE;
+        }
+
+        permute(radixSort(keys));
+    }
+
+    /**
+     * Сортирует этот массив по возрастанию длинного целочисленного ключа поразрядной сортировкой.
+     * Ключ извлекается из каждого элемента ровно один раз. Сортировка устойчива:
+     * элементы с равными ключами сохраняют взаимный порядок.
+     *
+     * @param keyExtractor функция извлечения ключа из элемента
+     */
+    public void sortByLongKey(ToLongFunction<? super E> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("A key extractor must not be null");
+        }
+
+        if (size < 2) {
+            return;
+        }
+
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            // Инвертируем знаковый бит, чтобы беззнаковый порядок совпадал со знаковым
+            keys[i] = keyExtractor.applyAsLong(get(i)) ^ Long.MIN_VALUE;
+        }
+
+        permute(radixSort(keys));
+    }
+
+    // Поразрядная сортировка (LSD) пар ключ-индекс по байтам, начиная с младшего. Ключи сравниваются как беззнаковые.
+    // Гистограммы всех байтов строятся за один проход. Проход пропускается, если у всех ключей байт одинаковый.
+    // Возвращает индексы элементов в отсортированном порядке.
+    private int[] radixSort(int[] keys) {
+        int[][] counts = new int[Integer.BYTES][256];
+        for (int key : keys) {
+            for (int pass = 0; pass < Integer.BYTES; pass++) {
+                counts[pass][(key >>> (pass << 3)) & 0xFF]++;
+            }
+        }
+
+        int[] indexes = identityIndexes();
+        int[] keysBuffer = null;
+        int[] indexesBuffer = null;
+
+        for (int pass = 0; pass < Integer.BYTES; pass++) {
+            int shift = pass << 3;
+            int[] count = counts[pass];
+            if (count[(keys[0] >>> shift) & 0xFF] == size) {
+                continue;
+            }
+
+            if (keysBuffer == null) {
+                keysBuffer = new int[size];
+                indexesBuffer = new int[size];
+            }
+
+            toOffsets(count);
+            for (int i = 0; i < size; i++) {
+                int position = count[(keys[i] >>> shift) & 0xFF]++;
+                keysBuffer[position] = keys[i];
+                indexesBuffer[position] = indexes[i];
+            }
+
+            int[] swapKeys = keys;
+            keys = keysBuffer;
+            keysBuffer = swapKeys;
+
+            int[] swapIndexes = indexes;
+            indexes = indexesBuffer;
+            indexesBuffer = swapIndexes;
+        }
+
+        return indexes;
+    }
+
+    // То же, что radixSort(int[]), для длинных ключей.
+    private int[] radixSort(long[] keys) {
+        int[][] counts = new int[Long.BYTES][256];
+        for (long key : keys) {
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass][(int) (key >>> (pass << 3)) & 0xFF]++;
+            }
+        }
+
+        int[] indexes = identityIndexes();
+        long[] keysBuffer = null;
+        int[] indexesBuffer = null;
+
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int shift = pass << 3;
+            int[] count = counts[pass];
+            if (count[(int) (keys[0] >>> shift) & 0xFF] == size) {
+                continue;
+            }
+
+            if (keysBuffer == null) {
+                keysBuffer = new long[size];
+                indexesBuffer = new int[size];
+            }
+
+            toOffsets(count);
+            for (int i = 0; i < size; i++) {
+                int position = count[(int) (keys[i] >>> shift) & 0xFF]++;
+                keysBuffer[position] = keys[i];
+                indexesBuffer[position] = indexes[i];
+            }
+
+            long[] swapKeys = keys;
+            keys = keysBuffer;
+            keysBuffer = swapKeys;
+
+            int[] swapIndexes = indexes;
+            indexes = indexesBuffer;
+            indexesBuffer = swapIndexes;
+        }
+
+        return indexes;
+    }
+
+    private int[] identityIndexes() {
+        int[] indexes = new int[size];
+        Arrays.setAll(indexes, i -> i);
+        return indexes;
+    }
+
+    // Превращает гистограмму байта в начальные позиции групп.
+    private static void toOffsets(int[] count) {
+        int offset = 0;
+        for (int b = 0; b < count.length; b++) {
+            int c = count[b];
+            count[b] = offset;
+            offset += c;
+        }
+    }
+
+    // Переставляет элементы так, что на позиции i оказывается элемент с исходным индексом indexes[i].
+    // Перестановка через копию: чтение случайное, но запись последовательная. Перестановка на месте по циклам
+    // экономит только одну копию ссылок, но вдвое медленнее на больших массивах, так как и чтение, и запись
+    // становятся случайными.
+    private void permute(int[] indexes) {
+        Object[] source = Arrays.copyOf(elements, size);
+        for (int i = 0; i < size; i++) {
+            elements[i] = source[indexes[i]];
+        }
+        markDirty(0, size);
     }
 
     private void internalSort(Comparator<E> comparator, int left, int right) {
@@ -476,6 +872,193 @@ public class DynamicArray<E> implements Array<E> {
         }
     }
 
+    /**
+     * Посетитель измененных блоков, см. {@link DynamicArray#checkpoint(BlockVisitor)}.
+     *
+     * @param <E> тип элементов в массиве
+     */
+    @FunctionalInterface
+    public interface BlockVisitor<E> {
+
+        /**
+         * Обрабатывает измененный блок. Элементы блока имеют в массиве индексы из диапазона [from, to).
+         *
+         * @param blockIndex номер блока, первый элемент блока имеет индекс {@code blockIndex * blockSize}
+         * @param array массив, элементы которого читаются через {@link DynamicArray#get(int)}; изменять его нельзя
+         * @param from начальный индекс блока, включительно
+         * @param to конечный индекс блока, исключительно
+         */
+        void visit(int blockIndex, DynamicArray<? extends E> array, int from, int to);
+    }
+
+    /**
+     * Состояние отслеживания изменений: размер блока и битовая карта измененных блоков.
+     * Вынесено в отдельный объект, чтобы массивы без отслеживания хранили только одну пустую ссылку.
+     */
+    private static final class ChangeTracker {
+
+        private final int blockSize;
+
+        private long[] dirtyBlocks = new long[0];
+
+        ChangeTracker(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        void mark(int from, int to) {
+            int firstBlock = from / blockSize;
+            int lastBlock = (to - 1) / blockSize;
+
+            int requiredWords = (lastBlock >> 6) + 1;
+            if (dirtyBlocks.length < requiredWords) {
+                dirtyBlocks = Arrays.copyOf(dirtyBlocks, Math.max(requiredWords, dirtyBlocks.length + (dirtyBlocks.length >> 1)));
+            }
+
+            for (int block = firstBlock; block <= lastBlock; block++) {
+                dirtyBlocks[block >> 6] |= 1L << block;
+            }
+        }
+
+        // Возвращает номер первого измененного блока, не меньший указанного, или -1 если такого блока нет.
+        int nextDirtyBlock(int fromBlock) {
+            int wordIndex = fromBlock >> 6;
+            if (dirtyBlocks.length <= wordIndex) {
+                return -1;
+            }
+
+            long word = dirtyBlocks[wordIndex] & (-1L << fromBlock);
+            while (true) {
+                if (word != 0) {
+                    return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                }
+
+                if (++wordIndex == dirtyBlocks.length) {
+                    return -1;
+                }
+
+                word = dirtyBlocks[wordIndex];
+            }
+        }
+
+        // Возвращает количество измененных блоков, лежащих в пределах указанного размера массива.
+        int dirtyBlockCount(int size) {
+            int blockCount = (size + blockSize - 1) / blockSize;
+            int count = 0;
+            for (int block = nextDirtyBlock(0); 0 <= block && block < blockCount; block = nextDirtyBlock(block + 1)) {
+                count++;
+            }
+
+            return count;
+        }
+
+        void reset() {
+            Arrays.fill(dirtyBlocks, 0L);
+        }
+    }
+
+    /**
+     * Изменения массива между двумя контрольными точками.
+     * Содержит размер массива на момент контрольной точки и копии измененных блоков.
+     *
+     * @param <E> тип элементов в массиве
+     */
+    public static final class Delta<E> {
+
+        private final int size;
+
+        private final int blockSize;
+
+        private final int[] blockIndexes;
+
+        private final Object[][] blocks;
+
+        private Delta(int size, int blockSize, int[] blockIndexes, Object[][] blocks) {
+            this.size = size;
+            this.blockSize = blockSize;
+            this.blockIndexes = blockIndexes;
+            this.blocks = blocks;
+        }
+
+        /**
+         * Возвращает размер массива на момент контрольной точки.
+         *
+         * @return размер массива
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Возвращает размер блока, используемый при отслеживании изменений.
+         *
+         * @return размер блока
+         */
+        public int blockSize() {
+            return blockSize;
+        }
+
+        /**
+         * Возвращает количество измененных блоков.
+         *
+         * @return количество измененных блоков
+         */
+        public int blockCount() {
+            return blockIndexes.length;
+        }
+
+        /**
+         * Возвращает номер измененного блока во внутреннем массиве.
+         * Первый элемент блока находится в массиве по индексу {@code blockIndex(i) * blockSize()}.
+         *
+         * @param i порядковый номер измененного блока
+         * @return номер измененного блока
+         * @throws IndexOutOfBoundsException если указанный номер выходит за диапазон (0 <= i && i < blockCount())
+         */
+        public int blockIndex(int i) {
+            return blockIndexes[i];
+        }
+
+        /**
+         * Возвращает копию элементов измененного блока.
+         *
+         * @param i порядковый номер измененного блока
+         * @return новый массив с элементами измененного блока
+         * @throws IndexOutOfBoundsException если указанный номер выходит за диапазон (0 <= i && i < blockCount())
+         */
+        public Object[] block(int i) {
+            return blocks[i].clone();
+        }
+
+        /**
+         * Создает изменения из размера массива и измененных блоков, например, при чтении сохраненной контрольной точки.
+         *
+         * @param size размер массива на момент контрольной точки
+         * @param blockSize размер блока
+         * @param blockIndexes номера измененных блоков
+         * @param blocks элементы измененных блоков
+         * @return изменения массива
+         * @throws IllegalArgumentException если блоки не согласуются с размером массива и размером блока
+         */
+        public static <E> Delta<E> of(int size, int blockSize, int[] blockIndexes, Object[][] blocks) {
+            if (size < 0 || blockSize <= 0 || blockIndexes.length != blocks.length) {
+                throw new IllegalArgumentException("Inconsistent delta");
+            }
+
+            int[] indexes = blockIndexes.clone();
+            Object[][] copies = new Object[blocks.length][];
+            for (int i = 0; i < indexes.length; i++) {
+                long from = (long) indexes[i] * blockSize;
+                if (indexes[i] < 0 || size < from + blocks[i].length || blocks[i].length > blockSize) {
+                    throw new IllegalArgumentException("Block " + indexes[i] + " is out of range");
+                }
+
+                copies[i] = blocks[i].clone();
+            }
+
+            return new Delta<>(size, blockSize, indexes, copies);
+        }
+    }
+
     private class Itr implements Iterator<E> {
 
         int cursor = 0;
@@ -0,0 +1,419 @@
+package aston.homework.one;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Внешняя сортировка слиянием для данных, которые не помещаются в памяти.
+ *
+ * <p>Входные элементы накапливаются в буфере {@link DynamicArray} ограниченного размера. Заполненный буфер сортируется
+ * и сбрасывается во временный файл (отсортированный отрезок) с помощью указанного {@link Codec}. Затем отрезки
+ * сливаются k-путевым слиянием на основе кучи, не более чем по fanIn отрезков за раз, а результат передается
+ * в получатель по одному элементу. Если все элементы поместились в буфер, временные файлы не создаются.</p>
+ *
+ * <p>Временные файлы удаляются по завершении сортировки, в том числе при ошибке. Экземпляр не хранит состояние
+ * между сортировками и может использоваться повторно, но не синхронизирован.</p>
+ *
+ * @param <E> тип сортируемых элементов.
+ *
+ * @author Максим Яськов
+ * @see DynamicArray#sort(Comparator)
+ */
+
+public class ExternalSorter<E> {
+
+    /**
+     * Размер отрезка по умолчанию - количество элементов, сортируемых в памяти за раз.
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 20;
+
+    /**
+     * Количество отрезков, сливаемых за раз, по умолчанию.
+     */
+    public static final int DEFAULT_FAN_IN = 64;
+
+    /**
+     * Размер буфера ввода-вывода для временных файлов.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Максимальная изначальная емкость буфера, чтобы не выделять память под весь отрезок заранее.
+     */
+    private static final int INITIAL_BUFFER_CAPACITY = 1 << 10;
+
+    /**
+     * Компаратор для сравнения сортируемых элементов.
+     */
+    private final Comparator<E> comparator;
+
+    /**
+     * Кодек для записи элементов во временные файлы и чтения из них.
+     */
+    private final Codec<E> codec;
+
+    /**
+     * Максимальное количество элементов в одном отрезке.
+     */
+    private final int runSize;
+
+    /**
+     * Максимальное количество отрезков, сливаемых за раз.
+     */
+    private final int fanIn;
+
+    /**
+     * Каталог для временных файлов.
+     */
+    private final Path tempDirectory;
+
+    /**
+     * Создает сортировщик с размером отрезка, количеством сливаемых отрезков и каталогом временных файлов по умолчанию.
+     *
+     * @param comparator компаратор для сравнения сортируемых элементов
+     * @param codec кодек для записи элементов во временные файлы и чтения из них
+     * @throws IllegalArgumentException если компаратор или кодек имеют значение null
+     */
+    public ExternalSorter(Comparator<E> comparator, Codec<E> codec) {
+        this(comparator, codec, DEFAULT_RUN_SIZE, DEFAULT_FAN_IN, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Создает сортировщик с указанными параметрами.
+     *
+     * @param comparator компаратор для сравнения сортируемых элементов
+     * @param codec кодек для записи элементов во временные файлы и чтения из них
+     * @param runSize максимальное количество элементов, сортируемых в памяти за раз
+     * @param fanIn максимальное количество отрезков, сливаемых за раз
+     * @param tempDirectory каталог для временных файлов
+     * @throws IllegalArgumentException если компаратор, кодек или каталог имеют значение null,
+     *                                  runSize не положительный или fanIn меньше двух
+     */
+    public ExternalSorter(Comparator<E> comparator, Codec<E> codec, int runSize, int fanIn, Path tempDirectory) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("A comparator must not be null");
+        }
+
+        if (codec == null) {
+            throw new IllegalArgumentException("A codec must not be null");
+        }
+
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("RunSize must be positive, but: " + runSize);
+        }
+
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("FanIn must be at least 2, but: " + fanIn);
+        }
+
+        if (tempDirectory == null) {
+            throw new IllegalArgumentException("A temp directory must not be null");
+        }
+
+        this.comparator = comparator;
+        this.codec = codec;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Сортирует элементы указанного итератора и передает их в получатель в порядке возрастания.
+     *
+     * @param input итератор сортируемых элементов
+     * @param sink получатель отсортированных элементов
+     * @throws IOException если не удается записать или прочитать временный файл
+     * @throws IllegalArgumentException если итератор или получатель имеют значение null
+     */
+    public void sort(Iterator<? extends E> input, Consumer<? super E> sink) throws IOException {
+        if (input == null || sink == null) {
+            throw new IllegalArgumentException("An input and a sink must not be null");
+        }
+
+        DynamicArray<E> buffer = new DynamicArray<>(Math.min(runSize, INITIAL_BUFFER_CAPACITY));
+        DynamicArray<Path> runs = new DynamicArray<>();
+        DynamicArray<Path> files = new DynamicArray<>(); // все созданные временные файлы
+        Throwable failure = null;
+
+        try {
+            while (input.hasNext()) {
+                buffer.add(input.next());
+
+                if (buffer.size() == runSize && input.hasNext()) {
+                    runs.add(spill(buffer, files));
+                }
+            }
+
+            buffer.sort(comparator);
+            if (runs.isEmpty()) { // Все элементы поместились в буфер, слияние не требуется
+                buffer.forEach(sink);
+                return;
+            }
+
+            if (!buffer.isEmpty()) {
+                runs.add(spill(buffer, files));
+            }
+            buffer = null; // буфер больше не нужен во время слияния
+
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs, files);
+            }
+
+            merge(runs, 0, runs.size(), sink::accept);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            forEachAll(files, Files::deleteIfExists, failure);
+        }
+    }
+
+    /**
+     * Сортирует элементы указанного источника и передает их в получатель в порядке возрастания.
+     *
+     * @param input источник сортируемых элементов
+     * @param sink получатель отсортированных элементов
+     * @throws IOException если не удается записать или прочитать временный файл
+     * @throws IllegalArgumentException если источник или получатель имеют значение null
+     */
+    public void sort(Iterable<? extends E> input, Consumer<? super E> sink) throws IOException {
+        if (input == null) {
+            throw new IllegalArgumentException("An input must not be null");
+        }
+
+        sort(input.iterator(), sink);
+    }
+
+    /**
+     * Применяет действие ко всем элементам, даже если для некоторых из них оно завершилось ошибкой.
+     * Ошибки действия добавляются к исходной ошибке как подавленные, а при ее отсутствии выбрасывается первая из них.
+     *
+     * @param items элементы
+     * @param action действие, например закрытие или удаление
+     * @param failure исходная ошибка или null
+     * @throws IOException если действие завершилось ошибкой и исходной ошибки нет
+     */
+    private static <T> void forEachAll(DynamicArray<T> items, IOConsumer<? super T> action, Throwable failure)
+            throws IOException {
+        IOException actionFailure = null;
+        for (T item : items) {
+            try {
+                action.accept(item);
+            } catch (IOException e) {
+                if (failure != null) {
+                    failure.addSuppressed(e);
+                } else if (actionFailure == null) {
+                    actionFailure = e;
+                } else {
+                    actionFailure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (actionFailure != null) {
+            throw actionFailure;
+        }
+    }
+
+    /**
+     * Сливает отрезки группами по fanIn, уменьшая их количество.
+     *
+     * @param runs сливаемые отрезки, файлы которых удаляются после слияния
+     * @param files все временные файлы сортировки, сюда добавляются новые отрезки
+     * @return новые отрезки
+     * @throws IOException если не удается записать или прочитать временный файл
+     */
+    private DynamicArray<Path> mergePass(DynamicArray<Path> runs, DynamicArray<Path> files) throws IOException {
+        DynamicArray<Path> merged = new DynamicArray<>(runs.size() / fanIn + 1);
+
+        for (int from = 0; from < runs.size(); from += fanIn) {
+            int to = Math.min(from + fanIn, runs.size());
+            if (to - from == 1) { // единственный отрезок в группе переходит в следующий проход без перезаписи
+                merged.add(runs.get(from));
+                continue;
+            }
+
+            Path run = createRun(files);
+            merged.add(run);
+
+            try (RunWriter writer = new RunWriter(run)) {
+                merge(runs, from, to, writer::write);
+            }
+
+            for (int i = from; i < to; i++) { // освобождаем место на диске до следующего прохода
+                Files.deleteIfExists(runs.get(i));
+            }
+        }
+
+        return merged;
+    }
+
+    /**
+     * Сливает указанный диапазон отрезков с помощью кучи и передает элементы в получатель.
+     *
+     * @param runs отрезки
+     * @param from индекс первого сливаемого отрезка, включительно
+     * @param to индекс последнего сливаемого отрезка, исключительно
+     * @param sink получатель элементов
+     * @throws IOException если не удается прочитать временный файл
+     */
+    private void merge(DynamicArray<Path> runs, int from, int to, IOConsumer<? super E> sink) throws IOException {
+        PriorityQueue<RunReader<E>> heap = new PriorityQueue<>(to - from, (a, b) -> comparator.compare(a.head, b.head));
+        DynamicArray<RunReader<E>> readers = new DynamicArray<>(to - from);
+        Throwable failure = null;
+
+        try {
+            for (int i = from; i < to; i++) {
+                RunReader<E> reader = new RunReader<>(runs.get(i), codec);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+
+            while (!heap.isEmpty()) {
+                RunReader<E> reader = heap.poll();
+                sink.accept(reader.head);
+
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            forEachAll(readers, RunReader::close, failure);
+        }
+    }
+
+    /**
+     * Сортирует буфер, записывает его во временный файл и очищает.
+     *
+     * @param buffer буфер с элементами
+     * @param files все временные файлы сортировки, сюда добавляется новый отрезок
+     * @return путь к созданному отрезку
+     * @throws IOException если не удается записать временный файл
+     */
+    private Path spill(DynamicArray<E> buffer, DynamicArray<Path> files) throws IOException {
+        buffer.sort(comparator);
+
+        Path run = createRun(files);
+        try (RunWriter writer = new RunWriter(run)) {
+            for (E element : buffer) {
+                writer.write(element);
+            }
+        }
+
+        buffer.clear();
+        return run;
+    }
+
+    private Path createRun(DynamicArray<Path> files) throws IOException {
+        Path run = Files.createTempFile(tempDirectory, "run-", ".tmp");
+        files.add(run);
+        return run;
+    }
+
+    /**
+     * Кодек для записи элементов во временные файлы и чтения из них.
+     *
+     * @param <E> тип элементов
+     */
+    public interface Codec<E> {
+
+        /**
+         * Записывает элемент.
+         *
+         * @param element записываемый элемент
+         * @param out выход для записи
+         * @throws IOException если не удается записать элемент
+         */
+        void encode(E element, DataOutput out) throws IOException;
+
+        /**
+         * Читает элемент, записанный методом {@link Codec#encode(Object, DataOutput)}.
+         *
+         * @param in вход для чтения
+         * @return прочитанный элемент
+         * @throws IOException если не удается прочитать элемент
+         */
+        E decode(DataInput in) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IOConsumer<T> {
+
+        void accept(T element) throws IOException;
+    }
+
+    /**
+     * Запись отрезка во временный файл. Каждый элемент предваряется маркером продолжения,
+     * поэтому количество элементов не требуется знать заранее.
+     */
+    private final class RunWriter implements Closeable {
+
+        private final DataOutputStream out;
+
+        RunWriter(Path run) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE));
+        }
+
+        void write(E element) throws IOException {
+            out.writeBoolean(true);
+            codec.encode(element, out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (out) { // поток закрывается, даже если маркер конца не удалось записать
+                out.writeBoolean(false);
+            }
+        }
+    }
+
+    /**
+     * Чтение отрезка из временного файла. Хранит текущий элемент для сравнения в куче.
+     */
+    private static final class RunReader<E> implements Closeable {
+
+        private final DataInputStream in;
+
+        private final Codec<E> codec;
+
+        private E head;
+
+        RunReader(Path run, Codec<E> codec) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+            this.codec = codec;
+        }
+
+        boolean advance() throws IOException {
+            if (!in.readBoolean()) {
+                head = null;
+                return false;
+            }
+
+            head = codec.decode(in);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,1309 @@
+package aston.homework.one;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Реализация интерфейса {@link Array} для записей (record) с поколоночным хранением элементов.
+ * Каждое поле записи хранится в отдельном внутреннем массиве - колонке. Поля примитивных типов хранятся
+ * в массивах соответствующих примитивов, поля ссылочных типов - в массивах объектов.
+ * Элементы {@code null} не допускаются.
+ *
+ * <p>Все колонки имеют одинаковую емкость, которая увеличивается по той же политике, что и у {@link DynamicArray}.
+ * Помимо реализации интерфейса {@link Array}, этот класс позволяет просматривать отдельные колонки
+ * (например, {@link RecordArray#scanInt(String)}) и сортировать массив по колонке
+ * ({@link RecordArray#sortByColumn(String)}), а также получать проекцию на запись с частью полей
+ * ({@link RecordArray#project(Class)}) без создания экземпляров записей.
+ * Для чтения полей без создания записей предназначен курсор {@link RecordArray#cursor()}.
+ * Методы {@link RecordArray#get(int)} и итератор создают новый экземпляр записи при каждом обращении.</p>
+ *
+ * <p>Для записей с неявным {@code equals} поиск сравнивает значения полей по одному без создания экземпляров,
+ * что совпадает с неявным {@code equals}. Если запись объявляет собственный {@code equals}, поиск создает записи
+ * и вызывает его.</p>
+ *
+ * <p>Поскольку реализация не синхронизирована, для обеспечения безопасности структурных изменений в многопоточной среде,
+ * экземпляр синхронизовать извне.</p>
+ *
+ * @param <R> тип записей в этом массиве.
+ *
+ * @author Максим Яськов
+ * @see Array
+ * @see DynamicArray
+ */
+
+public class RecordArray<R extends Record> implements Array<R> {
+
+    /**
+     * Счетчик модификаций массива. Используется итератором и курсором.
+     */
+    protected int modificationCounter = 0;
+
+    /**
+     * Тип записей в этом массиве.
+     */
+    private final Class<R> recordType;
+
+    /**
+     * Компоненты записи в порядке объявления.
+     */
+    private final RecordComponent[] components;
+
+    /**
+     * Методы доступа к компонентам записи.
+     */
+    private final Method[] accessors;
+
+    /**
+     * Канонический конструктор записи.
+     */
+    private final Constructor<R> constructor;
+
+    /**
+     * Признак неявного {@code equals} записи, при котором записи можно сравнивать по значениям полей.
+     */
+    private final boolean implicitEquals;
+
+    /**
+     * Колонки для хранения полей, по одной на каждый компонент записи.
+     */
+    private final Column[] columns;
+
+    /**
+     * Текущая емкость колонок.
+     */
+    private int capacity;
+
+    /**
+     * Количество элементов в массиве.
+     */
+    private int size;
+
+    /**
+     * Создает пустой массив с нулевой изначальной емкостью.
+     *
+     * @param recordType тип записей в массиве
+     * @throws IllegalArgumentException если указанный тип не является записью
+     */
+    public RecordArray(Class<R> recordType) {
+        this(recordType, 0);
+    }
+
+    /**
+     * Создает пустой массив с указанной изначальной емкостью.
+     *
+     * @param recordType тип записей в массиве
+     * @param initialCapacity изначальная емкость массива
+     * @throws IllegalArgumentException если указанный тип не является записью или емкость имеет отрицательное значение
+     */
+    public RecordArray(Class<R> recordType, int initialCapacity) {
+        if (recordType == null || !recordType.isRecord()) {
+            throw new IllegalArgumentException("A record type is required, but: " + recordType);
+        }
+
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("InitialCapacity must not be negative, but: " + initialCapacity);
+        }
+
+        this.recordType = recordType;
+        this.components = recordType.getRecordComponents();
+        this.accessors = new Method[components.length];
+        this.columns = new Column[components.length];
+
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            accessors[i] = components[i].getAccessor();
+            accessors[i].trySetAccessible();
+            columns[i] = Column.of(types[i], initialCapacity);
+        }
+
+        try {
+            this.constructor = recordType.getDeclaredConstructor(types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Canonical constructor not found: " + recordType, e);
+        }
+        this.constructor.trySetAccessible();
+        this.implicitEquals = isImplicitEquals(recordType);
+        this.capacity = initialCapacity;
+    }
+
+    /**
+     * Вставляет указанную запись в конец массива.
+     *
+     * @param element запись для вставки
+     * @throws IllegalArgumentException если запись имеет значение null
+     */
+    public boolean add(R element) {
+        return add(size, element);
+    }
+
+    /**
+     * Вставляет указанную запись в массив по указанному индексу.
+     * Все текущие элементы, индекс которых не меньше указанного, сдвигаются вправо (их индекс увеличивается на единицу).
+     *
+     * @param index индекс, по которому будет вставлена запись
+     * @param element запись для вставки
+     * @throws IndexOutOfBoundsException если указанный индекс выходит за диапазон для вставки (0 <= index && index <= size)
+     * @throws IllegalArgumentException если запись имеет значение null
+     */
+    public boolean add(int index, R element) {
+        checkIndexForAdd(index);
+        checkElement(element);
+        Object[] values = values(element);
+        modificationCounter++;
+
+        if (size == capacity) {
+            grow(size + 1);
+        }
+
+        for (int c = 0; c < columns.length; c++) {
+            if (index < size) {
+                columns[c].move(index, index + 1, size - index);
+            }
+            columns[c].set(index, values[c]);
+        }
+        size += 1;
+
+        return true;
+    }
+
+    /**
+     * Проверяет допустимость использования индекса для вставки в массив.
+     *
+     * @param index индекс для проверки
+     * @throws IndexOutOfBoundsException если указанный индекс выходит за диапазон для вставки (0 <= index && index <= size)
+     */
+    private void checkIndexForAdd(int index) {
+        if (index < 0 || size < index) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Проверяет допустимость использования индекса для операции с массивом.
+     *
+     * @param index индекс для проверки
+     * @throws IndexOutOfBoundsException если указанный индекс выходит за диапазон (0 <= index && index < size)
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || size <= index) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Проверяет допустимость записи для хранения в массиве.
+     *
+     * @param element запись для проверки
+     * @throws IllegalArgumentException если запись имеет значение null
+     */
+    private void checkElement(R element) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must not be null");
+        }
+    }
+
+    /**
+     * Удаляет все элементы из этого массива, не изменяя при этом емкость.
+     */
+    public void clear() {
+        modificationCounter++;
+
+        for (Column column : columns) {
+            column.clear(0, size);
+        }
+        size = 0;
+    }
+
+    /**
+     * Возвращает номер колонки для поля с указанным именем.
+     * Номер колонки используется методами курсора.
+     *
+     * @param field имя поля записи
+     * @return номер колонки
+     * @throws IllegalArgumentException если запись не содержит поля с указанным именем
+     */
+    public int columnIndex(String field) {
+        for (int c = 0; c < components.length; c++) {
+            if (components[c].getName().equals(field)) {
+                return c;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown field: " + field);
+    }
+
+    /**
+     * Возвращает значение компонента записи по номеру колонки.
+     *
+     * @param element запись
+     * @param column номер колонки
+     * @return значение компонента
+     */
+    private Object component(R element, int column) {
+        try {
+            return accessors[column].invoke(element);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read field " + components[column].getName(), e);
+        }
+    }
+
+    /**
+     * Возвращает новый курсор, расположенный перед первым элементом массива.
+     * Курсор является fail-fast и позволяет читать поля элементов без создания записей.
+     *
+     * @return новый курсор
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * При необходимости увеличивает ёмкость этого массива, гарантируя указанную минимальную емкость.
+     *
+     * @param requiredCapacity требуемая минимальная емкость
+     */
+    public void ensureCapacity(int requiredCapacity) {
+        if (capacity < requiredCapacity) {
+            modificationCounter++;
+            grow(requiredCapacity);
+        }
+    }
+
+    /**
+     * Возвращает запись по указанному индексу. Запись создается заново при каждом вызове.
+     *
+     * @param index индекс возвращаемого элемента
+     * @return запись по указанному индексу в этом массиве
+     * @throws IndexOutOfBoundsException если указанный индекс выходит за диапазон (0 <= index && index < size)
+     */
+    @Override
+    public R get(int index) {
+        checkIndex(index);
+
+        Object[] values = new Object[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            values[c] = columns[c].get(index);
+        }
+
+        try {
+            return constructor.newInstance(values);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create record " + recordType.getName(), e);
+        }
+    }
+
+    /**
+     * Увеличивает емкость всех колонок по политике {@link DynamicArray}.
+     *
+     * @param requiredCapacity требуемая минимальная емкость
+     */
+    private void grow(int requiredCapacity) {
+        capacity = DynamicArray.newCapacity(capacity, requiredCapacity);
+        for (Column column : columns) {
+            column.resize(capacity);
+        }
+    }
+
+    /**
+     * Возвращает индекс первого вхождения указанной записи.
+     * Для записей с неявным {@code equals} записи сравниваются по значениям полей без создания экземпляров,
+     * в противном случае вызывается {@code equals} записи.
+     *
+     * @param element запись, индекс первого вхождения которой будет возвращен
+     * @return индекс первого вхождения указанной записи или -1 если запись не найдена
+     */
+    @Override
+    public int indexOf(R element) {
+        if (element == null) {
+            return -1;
+        }
+
+        if (!implicitEquals) {
+            for (int i = 0; i < size; i++) {
+                if (element.equals(get(i))) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        Object[] values = values(element);
+        for (int i = 0; i < size; i++) {
+            if (matches(i, values)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Проверяет, использует ли запись неявный {@code equals}.
+     * Компилятор объявляет неявный {@code equals} записи как {@code final}, а собственный {@code equals}
+     * обычно не является {@code final}.
+     *
+     * @param recordType тип записи
+     * @return true если {@code equals} записи неявный, в противном случае false
+     */
+    private static boolean isImplicitEquals(Class<?> recordType) {
+        try {
+            return Modifier.isFinal(recordType.getMethod("equals", Object.class).getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Проверяет массив на пустоту.
+     *
+     * @return true если массив пустой, в противном случае false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает новый итератор.
+     * Итератор является fail-fast, не поддерживает операцию remove и создает новую запись на каждом шаге.
+     *
+     * @return новый итератор
+     */
+    @Override
+    public Iterator<R> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Возвращает индекс последнего вхождения указанной записи.
+     * Для записей с неявным {@code equals} записи сравниваются по значениям полей без создания экземпляров,
+     * в противном случае вызывается {@code equals} записи.
+     *
+     * @param element запись, индекс последнего вхождения которой будет возвращен
+     * @return индекс последнего вхождения указанной записи или -1 если запись не найдена
+     */
+    @Override
+    public int lastIndexOf(R element) {
+        if (element == null) {
+            return -1;
+        }
+
+        if (!implicitEquals) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (element.equals(get(i))) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        Object[] values = values(element);
+        for (int i = size - 1; i >= 0; i--) {
+            if (matches(i, values)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Проверяет, совпадают ли поля элемента по указанному индексу с указанными значениями.
+     *
+     * @param index индекс элемента
+     * @param values значения полей
+     * @return true если все поля совпадают, в противном случае false
+     */
+    private boolean matches(int index, Object[] values) {
+        for (int c = 0; c < columns.length; c++) {
+            if (!columns[c].matches(index, values[c])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Переставляет элементы во всех колонках так, что новый элемент с индексом i равен старому с индексом order[i].
+     *
+     * @param order перестановка индексов
+     */
+    private void permute(int[] order) {
+        for (Column column : columns) {
+            column.permute(order, size);
+        }
+    }
+
+    /**
+     * Возвращает новый массив записей указанного типа, содержащий часть полей этого массива, без создания записей.
+     * Каждый компонент записи-проекции должен совпадать по имени и типу с компонентом записи этого массива.
+     * Колонки выбранных полей копируются, поэтому проекция не зависит от последующих изменений этого массива.
+     *
+     * @param projectionType тип записей проекции
+     * @return новый массив с выбранными полями всех элементов в том же порядке
+     * @throws IllegalArgumentException если тип не является записью или ее компоненты не совпадают с полями этого массива
+     */
+    public <P extends Record> RecordArray<P> project(Class<P> projectionType) {
+        RecordArray<P> projection = new RecordArray<>(projectionType);
+
+        for (int c = 0; c < projection.components.length; c++) {
+            RecordComponent component = projection.components[c];
+            int source = columnIndex(component.getName());
+            if (components[source].getType() != component.getType()) {
+                throw new IllegalArgumentException("Field " + component.getName() + " is of type "
+                        + components[source].getType().getName());
+            }
+
+            projection.columns[c] = columns[source].copy(size);
+        }
+
+        projection.capacity = size;
+        projection.size = size;
+        return projection;
+    }
+
+    /**
+     * Удаляет элемент по указанному индексу в этом массиве.
+     * Все текущие элементы, индекс которых не меньше указанного, сдвигаются влево (их индекс уменьшается на единицу).
+     *
+     * @param index индекс удаляемого элемента
+     * @return удаленная запись
+     * @throws IndexOutOfBoundsException если указанный индекс выходит за диапазон (0 <= index && index < size)
+     */
+    public R remove(int index) {
+        R element = get(index);
+        modificationCounter++;
+
+        final int newSize = size - 1;
+        for (Column column : columns) {
+            if (index < newSize) {
+                column.move(index + 1, index, newSize - index);
+            }
+            column.clear(newSize, size); // убираю жесткую ссылку
+        }
+        size = newSize;
+
+        return element;
+    }
+
+    /**
+     * Возвращает колонку указанного поля, проверяя ее тип.
+     *
+     * @param field имя поля записи
+     * @param type ожидаемый тип колонки
+     * @return колонка указанного типа
+     * @throws IllegalArgumentException если поле не найдено или хранится в колонке другого типа
+     */
+    private <C extends Column> C column(String field, Class<C> type) {
+        return column(columnIndex(field), type);
+    }
+
+    /**
+     * Возвращает колонку с указанным номером, проверяя ее тип.
+     *
+     * @param column номер колонки
+     * @param type ожидаемый тип колонки
+     * @return колонка указанного типа
+     * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+     */
+    private <C extends Column> C column(int column, Class<C> type) {
+        if (column < 0 || columns.length <= column) {
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+
+        if (!type.isInstance(columns[column])) {
+            throw new IllegalArgumentException("Field " + components[column].getName() + " is of type "
+                    + components[column].getType().getName());
+        }
+
+        return type.cast(columns[column]);
+    }
+
+    /**
+     * Возвращает последовательный поток значений поля типа {@code double} без создания записей.
+     *
+     * @param field имя поля записи
+     * @return поток значений поля
+     * @throws IllegalArgumentException если поле не найдено или имеет другой тип
+     */
+    public DoubleStream scanDouble(String field) {
+        return Arrays.stream(column(field, DoubleColumn.class).values(), 0, size);
+    }
+
+    /**
+     * Возвращает последовательный поток значений поля типа {@code int} без создания записей.
+     *
+     * @param field имя поля записи
+     * @return поток значений поля
+     * @throws IllegalArgumentException если поле не найдено или имеет другой тип
+     */
+    public IntStream scanInt(String field) {
+        return Arrays.stream(column(field, IntColumn.class).values(), 0, size);
+    }
+
+    /**
+     * Возвращает последовательный поток значений поля типа {@code long} без создания записей.
+     *
+     * @param field имя поля записи
+     * @return поток значений поля
+     * @throws IllegalArgumentException если поле не найдено или имеет другой тип
+     */
+    public LongStream scanLong(String field) {
+        return Arrays.stream(column(field, LongColumn.class).values(), 0, size);
+    }
+
+    /**
+     * Возвращает последовательный поток значений поля ссылочного типа без создания записей.
+     *
+     * @param field имя поля записи
+     * @return поток значений поля
+     * @throws IllegalArgumentException если поле не найдено или хранится в колонке примитивов
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Stream<T> scanObject(String field) {
+        return (Stream<T>) Arrays.stream(column(field, ObjectColumn.class).values(), 0, size);
+    }
+
+    /**
+     * Заменяет в этом массиве текущую запись по указанному индексу указанной записью.
+     *
+     * @param index индекс заменяемого элемента
+     * @param element запись, которая будет установлена в этот массив по указанному индексу
+     * @return замененная запись
+     * @throws IndexOutOfBoundsException если указанный индекс выходит за диапазон (0 <= index && index < size)
+     * @throws IllegalArgumentException если запись имеет значение null
+     */
+    @Override
+    public R set(int index, R element) {
+        checkElement(element);
+        Object[] values = values(element);
+        R old = get(index);
+        modificationCounter++;
+
+        for (int c = 0; c < columns.length; c++) {
+            columns[c].set(index, values[c]);
+        }
+
+        return old;
+    }
+
+    /**
+     * Возвращает количество элементов в массиве.
+     *
+     * @return количество элементов в массиве
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Сортирует этот массив быстрой сортировкой. Для сравнения создаются экземпляры всех записей.
+     *
+     * @param comparator компаратор для сравнения элементов.
+     */
+    @Override
+    public void sort(Comparator<R> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("A comparator must not be null");
+        }
+
+        Object[] records = toArray();
+        @SuppressWarnings("unchecked")
+        IntBinaryOperator order = (i, j) -> comparator.compare((R) records[i], (R) records[j]);
+        sortIndexes(order);
+    }
+
+    /**
+     * Сортирует этот массив по возрастанию значений указанного поля без создания записей.
+     * Значения полей ссылочного типа должны реализовывать {@link Comparable}, значение {@code null} считается наименьшим.
+     *
+     * @param field имя поля записи
+     * @throws IllegalArgumentException если поле не найдено
+     * @throws ClassCastException если значения поля ссылочного типа не реализуют {@link Comparable}
+     */
+    public void sortByColumn(String field) {
+        Column column = columns[columnIndex(field)];
+        sortIndexes(column::compare);
+    }
+
+    /**
+     * Сортирует индексы элементов и переставляет колонки в соответствии с полученным порядком.
+     *
+     * @param order сравнение элементов по их индексам
+     */
+    private void sortIndexes(IntBinaryOperator order) {
+        if (size < 2) {
+            return;
+        }
+
+        int[] indexes = new int[size];
+        Arrays.setAll(indexes, i -> i);
+        internalSort(indexes, order, 0, size - 1);
+
+        modificationCounter++;
+        permute(indexes);
+    }
+
+    private void internalSort(int[] indexes, IntBinaryOperator order, int left, int right) {
+        if (left < right) {
+            int[] partition = partition(indexes, order, left, right);
+            internalSort(indexes, order, left, partition[0] - 1);
+            internalSort(indexes, order, partition[1] + 1, right);
+        }
+    }
+
+    // "Толстое" разбиение, как в DynamicArray, но над массивом индексов.
+    private int[] partition(int[] indexes, IntBinaryOperator order, int left, int right) {
+        int pivot = indexes[(left + right) >> 1];
+
+        for (int i = left; i <= right; ) {
+            int comparison = order.applyAsInt(pivot, indexes[i]);
+            if (comparison > 0) {
+                swap(indexes, left, i);
+                left++;
+                i++;
+            } else if (comparison < 0) {
+                swap(indexes, right, i);
+                right--;
+            } else {
+                i++;
+            }
+        }
+
+        return new int[]{left, right};
+    }
+
+    private static void swap(int[] indexes, int i, int j) {
+        int buffer = indexes[i];
+        indexes[i] = indexes[j];
+        indexes[j] = buffer;
+    }
+
+    /**
+     * Возвращает новый массив, содержащий все записи этого массива в правильной последовательности.
+     *
+     * @return новый массив, содержащий все записи этого массива в правильной последовательности
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Возвращает массив, содержащий все записи этого массива в правильной последовательности.
+     * Тип возвращаемого массива соответствует указанному массиву.
+     * Если массив помещается в указанный массив, он копируется туда, в противном случае выделяется новый массив.
+     *
+     * @param a массив, в котором должны храниться записи, если он достаточно велик, в противном случае выделяется новый массив того же типа.
+     * @return массив, содержащий все записи этого массива в правильной последовательности
+     * @throws ArrayStoreException если тип указанного массива не является супертипом типа записей
+     * @throws NullPointerException если указанный массив имеет значение NULL
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] array = toArray();
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(array, size, a.getClass());
+        }
+
+        System.arraycopy(array, 0, a, 0, size);
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+
+        Iterator<R> it = iterator();
+        StringBuilder sb = new StringBuilder("[");
+
+        while (true) {
+            sb.append(it.next());
+
+            if (it.hasNext()) {
+                sb.append(',').append(' ');
+            } else {
+                return sb.append(']').toString();
+            }
+        }
+    }
+
+    /**
+     * Возвращает значения всех компонентов записи.
+     *
+     * @param element запись
+     * @return значения компонентов в порядке колонок
+     */
+    private Object[] values(R element) {
+        Object[] values = new Object[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            values[c] = component(element, c);
+        }
+
+        return values;
+    }
+
+    /**
+     * Курсор для чтения полей элементов без создания записей.
+     * Один экземпляр курсора может последовательно указывать на разные элементы.
+     */
+    public final class Cursor {
+
+        private int index = -1;
+
+        private int expectedModificationCount = modificationCounter;
+
+        private Cursor() {
+        }
+
+        /**
+         * Возвращает индекс элемента, на который указывает курсор.
+         *
+         * @return индекс текущего элемента или -1 если курсор расположен перед первым элементом
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * Перемещает курсор на элемент по указанному индексу.
+         *
+         * @param index индекс элемента
+         * @return этот курсор
+         * @throws IndexOutOfBoundsException если указанный индекс выходит за диапазон (0 <= index && index < size)
+         */
+        public Cursor moveTo(int index) {
+            checkIndex(index);
+            expectedModificationCount = modificationCounter;
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Перемещает курсор на следующий элемент.
+         *
+         * @return true если курсор указывает на следующий элемент, false если элементы закончились
+         * @throws ConcurrentModificationException если массив был изменен после перемещения курсора
+         */
+        public boolean next() {
+            checkForModification();
+            if (index + 1 < size) {
+                index++;
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Возвращает значение поля типа {@code boolean} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public boolean getBoolean(int column) {
+            return column(column, BooleanColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля типа {@code byte} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public byte getByte(int column) {
+            return column(column, ByteColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля типа {@code char} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public char getChar(int column) {
+            return column(column, CharColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля типа {@code double} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public double getDouble(int column) {
+            return column(column, DoubleColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля типа {@code float} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public float getFloat(int column) {
+            return column(column, FloatColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля типа {@code int} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public int getInt(int column) {
+            return column(column, IntColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля типа {@code long} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public long getLong(int column) {
+            return column(column, LongColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля типа {@code short} текущего элемента.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена или имеет другой тип
+         */
+        public short getShort(int column) {
+            return column(column, ShortColumn.class).values()[position()];
+        }
+
+        /**
+         * Возвращает значение поля любого типа текущего элемента.
+         * Значения полей примитивных типов возвращаются в упакованном виде.
+         *
+         * @param column номер колонки, см. {@link RecordArray#columnIndex(String)}
+         * @return значение поля
+         * @throws IllegalArgumentException если колонка не найдена
+         */
+        public Object getObject(int column) {
+            return column(column, Column.class).get(position());
+        }
+
+        private int position() {
+            checkForModification();
+            if (index < 0) {
+                throw new NoSuchElementException();
+            }
+
+            return index;
+        }
+
+        private void checkForModification() {
+            if (expectedModificationCount != modificationCounter) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Колонка для хранения одного поля всех записей массива.
+     * Операции над всем внутренним массивом колонки реализованы здесь один раз,
+     * наследники отвечают только за чтение, запись и сравнение отдельных значений.
+     */
+    private abstract static class Column {
+
+        /**
+         * Тип элементов внутреннего массива колонки.
+         */
+        final Class<?> componentType;
+
+        /**
+         * Внутренний массив колонки, массив примитивов или объектов.
+         */
+        Object array;
+
+        Column(Class<?> componentType, int capacity) {
+            this.componentType = componentType;
+            this.array = newArray(capacity);
+        }
+
+        static Column of(Class<?> type, int capacity) {
+            if (type == int.class) {
+                return new IntColumn(capacity);
+            } else if (type == long.class) {
+                return new LongColumn(capacity);
+            } else if (type == double.class) {
+                return new DoubleColumn(capacity);
+            } else if (type == float.class) {
+                return new FloatColumn(capacity);
+            } else if (type == boolean.class) {
+                return new BooleanColumn(capacity);
+            } else if (type == byte.class) {
+                return new ByteColumn(capacity);
+            } else if (type == short.class) {
+                return new ShortColumn(capacity);
+            } else if (type == char.class) {
+                return new CharColumn(capacity);
+            } else {
+                return new ObjectColumn(capacity);
+            }
+        }
+
+        abstract Object get(int index);
+
+        abstract void set(int index, Object value);
+
+        abstract boolean matches(int index, Object value);
+
+        abstract int compare(int i, int j);
+
+        private Object newArray(int capacity) {
+            return java.lang.reflect.Array.newInstance(componentType, capacity);
+        }
+
+        private Object copyOf(int capacity) {
+            Object copy = newArray(capacity);
+            System.arraycopy(array, 0, copy, 0, Math.min(capacity, java.lang.reflect.Array.getLength(array)));
+            return copy;
+        }
+
+        void resize(int capacity) {
+            array = copyOf(capacity);
+        }
+
+        Column copy(int capacity) {
+            Column copy = of(componentType, 0);
+            copy.array = copyOf(capacity);
+            return copy;
+        }
+
+        void move(int from, int to, int length) {
+            System.arraycopy(array, from, array, to, length);
+        }
+
+        void permute(int[] order, int size) {
+            Object permuted = newArray(java.lang.reflect.Array.getLength(array));
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(array, order[i], permuted, i, 1);
+            }
+            array = permuted;
+        }
+
+        void clear(int from, int to) {
+        }
+    }
+
+    private static final class IntColumn extends Column {
+
+        IntColumn(int capacity) {
+            super(int.class, capacity);
+        }
+
+        int[] values() {
+            return (int[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Integer) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return values()[index] == (Integer) value;
+        }
+
+        int compare(int i, int j) {
+            return Integer.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class LongColumn extends Column {
+
+        LongColumn(int capacity) {
+            super(long.class, capacity);
+        }
+
+        long[] values() {
+            return (long[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Long) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return values()[index] == (Long) value;
+        }
+
+        int compare(int i, int j) {
+            return Long.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+
+        DoubleColumn(int capacity) {
+            super(double.class, capacity);
+        }
+
+        double[] values() {
+            return (double[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Double) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return Double.doubleToLongBits(values()[index]) == Double.doubleToLongBits((Double) value);
+        }
+
+        int compare(int i, int j) {
+            return Double.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class FloatColumn extends Column {
+
+        FloatColumn(int capacity) {
+            super(float.class, capacity);
+        }
+
+        float[] values() {
+            return (float[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Float) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return Float.floatToIntBits(values()[index]) == Float.floatToIntBits((Float) value);
+        }
+
+        int compare(int i, int j) {
+            return Float.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+
+        BooleanColumn(int capacity) {
+            super(boolean.class, capacity);
+        }
+
+        boolean[] values() {
+            return (boolean[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Boolean) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return values()[index] == (Boolean) value;
+        }
+
+        int compare(int i, int j) {
+            return Boolean.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class ByteColumn extends Column {
+
+        ByteColumn(int capacity) {
+            super(byte.class, capacity);
+        }
+
+        byte[] values() {
+            return (byte[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Byte) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return values()[index] == (Byte) value;
+        }
+
+        int compare(int i, int j) {
+            return Byte.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class ShortColumn extends Column {
+
+        ShortColumn(int capacity) {
+            super(short.class, capacity);
+        }
+
+        short[] values() {
+            return (short[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Short) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return values()[index] == (Short) value;
+        }
+
+        int compare(int i, int j) {
+            return Short.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class CharColumn extends Column {
+
+        CharColumn(int capacity) {
+            super(char.class, capacity);
+        }
+
+        char[] values() {
+            return (char[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = (Character) value;
+        }
+
+        boolean matches(int index, Object value) {
+            return values()[index] == (Character) value;
+        }
+
+        int compare(int i, int j) {
+            return Character.compare(values()[i], values()[j]);
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+
+        private static final Comparator<Object> NATURAL_ORDER = nullsFirstNaturalOrder();
+
+        ObjectColumn(int capacity) {
+            super(Object.class, capacity);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Comparator<Object> nullsFirstNaturalOrder() {
+            return (Comparator) Comparator.nullsFirst(Comparator.naturalOrder());
+        }
+
+        Object[] values() {
+            return (Object[]) array;
+        }
+
+        Object get(int index) {
+            return values()[index];
+        }
+
+        void set(int index, Object value) {
+            values()[index] = value;
+        }
+
+        boolean matches(int index, Object value) {
+            return value == null ? values()[index] == null : value.equals(values()[index]);
+        }
+
+        int compare(int i, int j) {
+            return NATURAL_ORDER.compare(values()[i], values()[j]);
+        }
+
+        @Override
+        void clear(int from, int to) {
+            Arrays.fill(values(), from, to, null);
+        }
+    }
+
+    private class Itr implements Iterator<R> {
+
+        int cursor = 0;
+
+        int expectedModificationCount = modificationCounter;
+
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        public R next() {
+            checkForModification();
+
+            try {
+                return get(cursor++);
+            } catch (IndexOutOfBoundsException e) {
+                checkForModification();
+                throw new NoSuchElementException();
+            }
+        }
+
+        private void checkForModification() {
+            if (expectedModificationCount != modificationCounter) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
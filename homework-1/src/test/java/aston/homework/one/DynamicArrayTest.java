@@ -3,6 +3,7 @@ package aston.homework.one;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
 import java.util.Random;
 import java.util.stream.IntStream;
 
@@ -137,6 +138,133 @@ class DynamicArrayTest {
         assertArrayEquals(new Integer[]{123, 456}, array);
     }
 
+    @Test
+    void testCompactMode() {
+        DynamicArray<Integer> compactArray = new DynamicArray<>(0, 4);
+        for (int i = 1; i <= 4; i++) {
+            compactArray.add(0, i);
+            assertEquals(i, compactArray.capacity());
+        }
+
+        compactArray.add(5);
+        assertEquals(6, compactArray.capacity());
+        compactArray.add(6);
+        compactArray.add(7);
+        assertEquals(9, compactArray.capacity());
+        assertArrayEquals(new Object[]{4, 3, 2, 1, 5, 6, 7}, compactArray.toArray());
+
+        compactArray.remove(0);
+        compactArray.trimToSize();
+        assertEquals(6, compactArray.capacity());
+        assertArrayEquals(new Object[]{3, 2, 1, 5, 6, 7}, compactArray.toArray());
+
+        assertEquals(0, new DynamicArray<>(0, 4).capacity());
+        DynamicArray<Integer> regularArray = new DynamicArray<>();
+        regularArray.add(1);
+        assertEquals(10, regularArray.capacity());
+
+        assertThrows(IllegalArgumentException.class, () -> new DynamicArray<>(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> new DynamicArray<>(0, DynamicArray.MAX_COMPACT_THRESHOLD + 1));
+    }
+
+    @Test
+    void testChangeTracking() {
+        DynamicArray<Integer> source = dynamicArrayOf(randomInts(100, 20));
+        DynamicArray<Integer> target = new DynamicArray<>();
+        source.enableChangeTracking(4);
+
+        assertCheckpoint(source, target, 5);
+
+        source.set(1, 123);
+        source.remove(18);
+        DynamicArray.Delta<Integer> delta = assertCheckpoint(source, target, 2);
+        assertEquals(19, delta.size());
+        assertEquals(0, delta.blockIndex(0));
+        assertEquals(4, delta.blockIndex(1));
+        assertCheckpoint(source, target, 0);
+
+        source.add(10, 456);
+        assertCheckpoint(source, target, 3);
+
+        source.sort(Integer::compareTo);
+        assertCheckpoint(source, target, 5);
+
+        source.sortByIntKey(i -> -i);
+        assertCheckpoint(source, target, 5);
+
+        for (int i = 0; i < 14; i++) {
+            source.remove(source.size() - 1);
+        }
+        source.add(789);
+        source.add(790);
+        delta = assertCheckpoint(source, target, 1);
+        assertEquals(8, delta.size());
+        assertEquals(1, delta.blockIndex(0));
+
+        source.clear();
+        assertCheckpoint(source, target, 0);
+        source.add(1);
+        assertCheckpoint(source, target, 1);
+
+        source.disableChangeTracking();
+        assertFalse(source.isChangeTrackingEnabled());
+        assertThrows(IllegalStateException.class, source::checkpoint);
+    }
+
+    @Test
+    void testApplyDeltaMarksOnlyChangedBlocks() {
+        DynamicArray<Integer> source = dynamicArrayOf(randomInts(100, 20));
+        DynamicArray<Integer> target = new DynamicArray<>();
+        source.enableChangeTracking(4);
+        target.applyDelta(source.checkpoint());
+        target.enableChangeTracking(4);
+        target.checkpoint();
+
+        source.set(9, 123);
+        source.add(321);
+        target.applyDelta(source.checkpoint());
+
+        DynamicArray.Delta<Integer> delta = target.checkpoint();
+        assertEquals(21, delta.size());
+        assertEquals(2, delta.blockCount());
+        assertEquals(2, delta.blockIndex(0));
+        assertEquals(5, delta.blockIndex(1));
+    }
+
+    @Test
+    void testStreamingCheckpoint() {
+        DynamicArray<Integer> source = dynamicArrayOf(randomInts(100, 10));
+        source.enableChangeTracking(4);
+        source.checkpoint();
+        source.set(5, 123);
+
+        DynamicArray<Integer> visited = new DynamicArray<>();
+        source.checkpoint((block, array, from, to) -> {
+            visited.add(block);
+            visited.add(from);
+            visited.add(to);
+            assertEquals(123, array.get(5));
+        });
+
+        assertArrayEquals(new Object[]{1, 4, 8}, visited.toArray());
+        source.checkpoint((block, array, from, to) -> fail("No dirty blocks expected"));
+
+        source.set(0, 456);
+        assertThrows(ConcurrentModificationException.class,
+                () -> source.checkpoint((block, array, from, to) -> source.set(from, 789)));
+        assertEquals(1, source.checkpoint().blockCount());
+    }
+
+    private DynamicArray.Delta<Integer> assertCheckpoint(DynamicArray<Integer> source, DynamicArray<Integer> target,
+                                                         int expectedBlockCount) {
+        DynamicArray.Delta<Integer> delta = source.checkpoint();
+        target.applyDelta(delta);
+
+        assertEquals(expectedBlockCount, delta.blockCount());
+        assertArrayEquals(source.toArray(), target.toArray());
+        return delta;
+    }
+
     @Test
     public void testSort() {
 //        ручная проверка
@@ -150,6 +278,32 @@ class DynamicArrayTest {
         }
     }
 
+    @Test
+    void testSortByIntKey() {
+        for (int i = 0; i < 1000; i += 3) {
+            DynamicArray<Integer> array = dynamicArrayOf(randomInts(i, i));
+            for (int j = 0; j < array.size(); j++) {
+                array.set(j, array.get(j) - i / 2);
+            }
+
+            array.sortByIntKey(Integer::intValue);
+
+            for (int j = 0; j < array.size() - 1; j++) {
+                assertTrue(array.get(j) <= array.get(j + 1));
+            }
+        }
+    }
+
+    @Test
+    void testSortByLongKeyIsStable() {
+        DynamicArray<String> array = dynamicArrayOf("b2", "a1", "b1", "a2", "c1", "a3");
+
+        array.sortByLongKey(s -> -s.charAt(0) * 100_000_000_000L);
+
+        assertArrayEquals(new Object[]{"c1", "b2", "b1", "a1", "a2", "a3"}, array.toArray());
+        assertThrows(IllegalArgumentException.class, () -> array.sortByLongKey(null));
+    }
+
     private void testCase(DynamicArray<Integer> dynamicArray) {
         dynamicArray.sort(Integer::compareTo);
 
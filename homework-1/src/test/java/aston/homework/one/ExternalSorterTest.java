@@ -0,0 +1,170 @@
+package aston.homework.one;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSorterTest {
+
+    private static final ExternalSorter.Codec<Integer> INT_CODEC = new ExternalSorter.Codec<>() {
+        @Override
+        public void encode(Integer element, DataOutput out) throws IOException {
+            out.writeInt(element);
+        }
+
+        @Override
+        public Integer decode(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void testSortInMemory() throws IOException {
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(Integer::compareTo, INT_CODEC, 10, 2, tempDirectory);
+        DynamicArray<Integer> sorted = new DynamicArray<>();
+
+        sorter.sort(dynamicArrayOf(5, 3, 4, 1, 2), sorted::add);
+
+        assertArrayEquals(new Object[]{1, 2, 3, 4, 5}, sorted.toArray());
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testSortWithSpilling() throws IOException {
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(Integer::compareTo, INT_CODEC, 7, 3, tempDirectory);
+        DynamicArray<Integer> input = new DynamicArray<>();
+        Random random = new Random(1234567890);
+        for (int i = 0; i < 1000; i++) {
+            input.add(random.nextInt(100));
+        }
+
+        DynamicArray<Integer> sorted = new DynamicArray<>();
+        sorter.sort(input, sorted::add);
+
+        assertEquals(input.size(), sorted.size());
+        for (int i = 0; i < sorted.size() - 1; i++) {
+            assertTrue(sorted.get(i) <= sorted.get(i + 1));
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testMergePassDoesNotRewriteSingleRun() throws IOException {
+        int[] encoded = {0};
+        ExternalSorter.Codec<Integer> countingCodec = new ExternalSorter.Codec<>() {
+            @Override
+            public void encode(Integer element, DataOutput out) throws IOException {
+                encoded[0]++;
+                INT_CODEC.encode(element, out);
+            }
+
+            @Override
+            public Integer decode(DataInput in) throws IOException {
+                return INT_CODEC.decode(in);
+            }
+        };
+        // 4 отрезка по 10 элементов при fanIn = 3: сливаются первые три, четвертый переходит без перезаписи
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(Integer::compareTo, countingCodec, 10, 3, tempDirectory);
+        DynamicArray<Integer> input = new DynamicArray<>();
+        for (int i = 0; i < 40; i++) {
+            input.add(40 - i);
+        }
+
+        DynamicArray<Integer> sorted = new DynamicArray<>();
+        sorter.sort(input, sorted::add);
+
+        assertEquals(40 + 30, encoded[0]);
+        assertEquals(40, sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, sorted.get(i));
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testFailingCodecDuringMergePassRemovesTempFiles() throws IOException {
+        int[] encoded = {0};
+        ExternalSorter.Codec<Integer> failingCodec = new ExternalSorter.Codec<>() {
+            @Override
+            public void encode(Integer element, DataOutput out) throws IOException {
+                // 100 элементов записываются при сбросе отрезков, затем начинается промежуточное слияние
+                if (++encoded[0] > 120) {
+                    throw new IOException("Disk is full");
+                }
+                INT_CODEC.encode(element, out);
+            }
+
+            @Override
+            public Integer decode(DataInput in) throws IOException {
+                return INT_CODEC.decode(in);
+            }
+        };
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(Integer::compareTo, failingCodec, 7, 3, tempDirectory);
+        DynamicArray<Integer> input = new DynamicArray<>();
+        for (int i = 0; i < 100; i++) {
+            input.add(100 - i);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> sorter.sort(input, element -> {
+        }));
+
+        assertEquals("Disk is full", e.getMessage());
+        assertTrue(encoded[0] > 120);
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testFailingSinkRemovesTempFiles() throws IOException {
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(Integer::compareTo, INT_CODEC, 7, 3, tempDirectory);
+        DynamicArray<Integer> input = new DynamicArray<>();
+        for (int i = 0; i < 100; i++) {
+            input.add(100 - i);
+        }
+
+        assertThrows(IllegalStateException.class, () -> sorter.sort(input, element -> {
+            if (element == 50) {
+                throw new IllegalStateException();
+            }
+        }));
+
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalSorter<>(Integer::compareTo, INT_CODEC, 0, 2, tempDirectory));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalSorter<>(Integer::compareTo, INT_CODEC, 10, 1, tempDirectory));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalSorter<>(null, INT_CODEC));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            return files.count();
+        }
+    }
+
+    @SafeVarargs
+    private static <E> DynamicArray<E> dynamicArrayOf(E... elements) {
+        DynamicArray<E> array = new DynamicArray<>(elements.length);
+        for (E element : elements) {
+            array.add(element);
+        }
+
+        return array;
+    }
+}
@@ -0,0 +1,154 @@
+package aston.homework.one;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordArrayTest {
+
+    record Point(int id, long timestamp, double value, String name) {
+    }
+
+    record Label(String name, int id) {
+    }
+
+    record Flags(boolean flag, byte b, short s, char c, float f) {
+    }
+
+    record Tag(String name) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tag tag && name.equalsIgnoreCase(tag.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.toLowerCase().hashCode();
+        }
+    }
+
+    private RecordArray<Point> recordArray;
+
+    @BeforeEach
+    void setUp() {
+        recordArray = new RecordArray<>(Point.class);
+        recordArray.add(new Point(3, 30L, 0.3, "c"));
+        recordArray.add(new Point(1, 10L, 0.1, "a"));
+        recordArray.add(new Point(2, 20L, 0.2, "b"));
+    }
+
+    @Test
+    void testAddAndGet() {
+        recordArray.add(1, new Point(4, 40L, 0.4, null));
+
+        assertEquals(4, recordArray.size());
+        assertEquals(new Point(3, 30L, 0.3, "c"), recordArray.get(0));
+        assertEquals(new Point(4, 40L, 0.4, null), recordArray.get(1));
+        assertEquals(new Point(2, 20L, 0.2, "b"), recordArray.get(3));
+        assertThrows(IllegalArgumentException.class, () -> recordArray.add(null));
+    }
+
+    @Test
+    void testRemoveAndSet() {
+        Point removed = recordArray.remove(0);
+        Point replaced = recordArray.set(1, new Point(5, 50L, 0.5, "e"));
+
+        assertEquals(new Point(3, 30L, 0.3, "c"), removed);
+        assertEquals(new Point(2, 20L, 0.2, "b"), replaced);
+        assertArrayEquals(new Object[]{new Point(1, 10L, 0.1, "a"), new Point(5, 50L, 0.5, "e")}, recordArray.toArray());
+    }
+
+    @Test
+    void testIndexOf() {
+        recordArray.add(new Point(1, 10L, 0.1, "a"));
+
+        assertEquals(1, recordArray.indexOf(new Point(1, 10L, 0.1, "a")));
+        assertEquals(3, recordArray.lastIndexOf(new Point(1, 10L, 0.1, "a")));
+        assertEquals(-1, recordArray.indexOf(new Point(1, 10L, 0.1, "z")));
+    }
+
+    @Test
+    void testScan() {
+        assertArrayEquals(new int[]{3, 1, 2}, recordArray.scanInt("id").toArray());
+        assertEquals(60L, recordArray.scanLong("timestamp").sum());
+        assertEquals(0.6, recordArray.scanDouble("value").sum(), 1e-9);
+        assertArrayEquals(new Object[]{"c", "a", "b"}, recordArray.scanObject("name").toArray());
+        assertThrows(IllegalArgumentException.class, () -> recordArray.scanInt("timestamp"));
+        assertThrows(IllegalArgumentException.class, () -> recordArray.scanInt("unknown"));
+    }
+
+    @Test
+    void testSortByColumn() {
+        recordArray.sortByColumn("timestamp");
+        assertArrayEquals(new int[]{1, 2, 3}, recordArray.scanInt("id").toArray());
+
+        recordArray.sort(Comparator.comparing(Point::name).reversed());
+        assertArrayEquals(new int[]{3, 2, 1}, recordArray.scanInt("id").toArray());
+    }
+
+    @Test
+    void testCursor() {
+        int id = recordArray.columnIndex("id");
+        int name = recordArray.columnIndex("name");
+        RecordArray<Point>.Cursor cursor = recordArray.cursor();
+
+        int sum = 0;
+        while (cursor.next()) {
+            sum += cursor.getInt(id);
+        }
+
+        assertEquals(6, sum);
+        assertEquals("a", cursor.moveTo(1).getObject(name));
+        assertThrows(IllegalArgumentException.class, () -> cursor.getLong(id));
+    }
+
+    @Test
+    void testProject() {
+        RecordArray<Label> labels = recordArray.project(Label.class);
+        recordArray.set(0, new Point(9, 90L, 0.9, "z"));
+
+        assertEquals(3, labels.size());
+        assertArrayEquals(new Object[]{new Label("c", 3), new Label("a", 1), new Label("b", 2)}, labels.toArray());
+
+        labels.add(new Label("d", 4));
+        assertArrayEquals(new int[]{3, 1, 2, 4}, labels.scanInt("id").toArray());
+
+        record Mismatch(long id) {
+        }
+        assertThrows(IllegalArgumentException.class, () -> recordArray.project(Mismatch.class));
+    }
+
+    @Test
+    void testPrimitiveColumns() {
+        RecordArray<Flags> flags = new RecordArray<>(Flags.class);
+        flags.add(new Flags(true, (byte) 2, (short) 300, 'b', 1.5f));
+        flags.add(new Flags(false, (byte) 1, (short) -5, 'a', Float.NaN));
+
+        assertEquals(1, flags.indexOf(new Flags(false, (byte) 1, (short) -5, 'a', Float.NaN)));
+
+        flags.sortByColumn("c");
+        RecordArray<Flags>.Cursor cursor = flags.cursor().moveTo(0);
+        assertFalse(cursor.getBoolean(flags.columnIndex("flag")));
+        assertEquals(1, cursor.getByte(flags.columnIndex("b")));
+        assertEquals(-5, cursor.getShort(flags.columnIndex("s")));
+        assertEquals('a', cursor.getChar(flags.columnIndex("c")));
+        assertEquals(new Flags(true, (byte) 2, (short) 300, 'b', 1.5f), flags.get(1));
+        assertThrows(IllegalArgumentException.class, () -> flags.scanObject("f"));
+    }
+
+    @Test
+    void testIndexOfWithExplicitEquals() {
+        RecordArray<Tag> tags = new RecordArray<>(Tag.class);
+        tags.add(new Tag("a"));
+        tags.add(new Tag("B"));
+        tags.add(new Tag("b"));
+
+        assertEquals(1, tags.indexOf(new Tag("b")));
+        assertEquals(2, tags.lastIndexOf(new Tag("B")));
+        assertEquals(-1, tags.indexOf(new Tag("c")));
+    }
+}